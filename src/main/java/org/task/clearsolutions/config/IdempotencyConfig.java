@@ -0,0 +1,28 @@
+package org.task.clearsolutions.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.task.clearsolutions.idempotency.IdempotencyStore;
+import org.task.clearsolutions.idempotency.impl.InMemoryIdempotencyStore;
+
+/***
+ * The in-memory store is used unless idempotency.store selects another backend,
+ * which then has to provide its own IdempotencyStore bean.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @Lazy(false)
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "in-memory", matchIfMissing = true)
+    public IdempotencyStore idempotencyStore(@Value("${idempotency.max_entries}") Integer maxEntries,
+                                             @Value("${idempotency.ttl_minutes}") Long ttlMinutes,
+                                             Clock clock) {
+        return new InMemoryIdempotencyStore(maxEntries, Duration.ofMinutes(ttlMinutes), clock);
+    }
+}
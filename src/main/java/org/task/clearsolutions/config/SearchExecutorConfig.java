@@ -0,0 +1,29 @@
+package org.task.clearsolutions.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SearchExecutorConfig {
+
+    /***
+     * Bounded executor for the content and count queries of paged search. Each task takes its own
+     * connection, so the pool size must stay below the connection pool size. Defining an Executor
+     * bean makes Spring Boot skip its default applicationTaskExecutor; nothing in the application
+     * relies on it.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchExecutor(@Value("${user.search.pool_size}") Integer poolSize,
+                                                 @Value("${user.search.queue_capacity}") Integer queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("user-search-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
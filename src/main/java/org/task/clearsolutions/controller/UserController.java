@@ -2,10 +2,14 @@ package org.task.clearsolutions.controller;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,43 +18,78 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.task.clearsolutions.dto.AgeBracketDto;
+import org.task.clearsolutions.dto.CountMode;
+import org.task.clearsolutions.dto.PageResponseDto;
 import org.task.clearsolutions.dto.UserRequestDto;
 import org.task.clearsolutions.dto.UserResponseDto;
+import org.task.clearsolutions.service.IdempotencyService;
 import org.task.clearsolutions.service.UserService;
 
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/register")
-    public UserResponseDto register(@RequestBody @Valid UserRequestDto userRequestDto) {
-        return userService.register(userRequestDto);
+    public UserResponseDto register(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                    @RequestBody @Valid UserRequestDto userRequestDto) {
+        return idempotencyService.execute(idempotencyKey, "POST /users/register", userRequestDto,
+                () -> userService.register(userRequestDto));
     }
 
     @PutMapping("/{id}")
-    public UserResponseDto update(@PathVariable Long id, @RequestBody @Valid UserRequestDto userRequestDto) {
-        return userService.updateAllFields(id, userRequestDto);
+    public UserResponseDto update(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                  @PathVariable Long id, @RequestBody @Valid UserRequestDto userRequestDto) {
+        return idempotencyService.execute(idempotencyKey, "PUT /users/" + id, userRequestDto,
+                () -> userService.updateAllFields(id, userRequestDto));
     }
 
     @PatchMapping("/{id}")
-    public UserResponseDto updatePartially(@PathVariable Long id, @RequestBody UserRequestDto userRequestDto) {
-        return userService.updatePartially(id, userRequestDto);
+    public UserResponseDto updatePartially(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                           @PathVariable Long id, @RequestBody UserRequestDto userRequestDto) {
+        return idempotencyService.execute(idempotencyKey, "PATCH /users/" + id, userRequestDto,
+                () -> userService.updatePartially(id, userRequestDto));
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        userService.deleteById(id);
+    public void delete(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                       @PathVariable Long id) {
+        idempotencyService.execute(idempotencyKey, "DELETE /users/" + id, id, () -> {
+            userService.deleteById(id);
+            return null;
+        });
     }
 
     @GetMapping
-    public Page<UserResponseDto> getUsersByBirthdateBetween(@Past @RequestParam LocalDate from, @Past @RequestParam LocalDate to, Pageable pageable) {
-        return userService.searchUsersByBirthdateBetween(from, to, pageable);
+    public PageResponseDto<UserResponseDto> getUsersByBirthdateBetween(@Past @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                       @Past @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                       @RequestParam(defaultValue = "EXACT") CountMode count, Pageable pageable) {
+        return userService.searchUsersByBirthdateBetween(from, to, pageable, count);
+    }
+
+    @GetMapping("/birthdays")
+    public Page<UserResponseDto> getUpcomingBirthdays(@PositiveOrZero @RequestParam Integer days, Pageable pageable) {
+        return userService.searchUpcomingBirthdays(days, pageable);
+    }
+
+    @GetMapping("/ages/count")
+    public AgeBracketDto countUsersByAgeBetween(@PositiveOrZero @RequestParam Integer minAge, @PositiveOrZero @RequestParam Integer maxAge) {
+        return userService.countUsersByAgeBetween(minAge, maxAge);
+    }
+
+    @GetMapping("/ages/histogram")
+    public List<AgeBracketDto> getAgeHistogram(@Positive @RequestParam(defaultValue = "10") Integer width) {
+        return userService.getAgeHistogram(width);
     }
 }
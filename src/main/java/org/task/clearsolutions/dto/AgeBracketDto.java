@@ -0,0 +1,8 @@
+package org.task.clearsolutions.dto;
+
+public record AgeBracketDto(
+        Integer fromAge,
+        Integer toAge,
+        Long count
+) {
+}
@@ -0,0 +1,16 @@
+package org.task.clearsolutions.dto;
+
+public enum CountMode {
+    /***
+     * Page with the exact total.
+     */
+    EXACT,
+    /***
+     * Page with the total counted up to a configured cap, for huge ranges.
+     */
+    APPROXIMATE,
+    /***
+     * Slice without total, only tells whether there is a next slice.
+     */
+    NONE
+}
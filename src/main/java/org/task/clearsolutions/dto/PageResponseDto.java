@@ -0,0 +1,33 @@
+package org.task.clearsolutions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PageResponseDto<T>(
+        List<T> content,
+        Integer number,
+        Integer size,
+        Integer numberOfElements,
+        Boolean hasNext,
+        Long totalElements,
+        Integer totalPages,
+        Boolean totalIsLowerBound
+) {
+    public static <T> PageResponseDto<T> of(Slice<T> slice) {
+        return new PageResponseDto<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.getNumberOfElements(), slice.hasNext(), null, null, null);
+    }
+
+    /***
+     * A total that is only a lower bound can't tell whether a next page exists, so a full
+     * page reported with such a total is assumed to have a next page.
+     */
+    public static <T> PageResponseDto<T> of(Page<T> page, boolean totalIsLowerBound) {
+        return new PageResponseDto<>(page.getContent(), page.getNumber(), page.getSize(),
+                page.getNumberOfElements(), totalIsLowerBound || page.hasNext(), page.getTotalElements(), page.getTotalPages(),
+                totalIsLowerBound);
+    }
+}
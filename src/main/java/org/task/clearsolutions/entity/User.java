@@ -5,8 +5,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.validation.constraints.Past;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,12 +21,14 @@ import org.task.clearsolutions.validator.Phone;
 
 @Entity(name = "users")
 @Data
-@SQLDelete(sql = "UPDATE users SET is_deleted = TRUE WHERE id = ?")
+@SQLDelete(sql = "UPDATE users SET is_deleted = TRUE, deleted_at = NOW() WHERE id = ?")
 @SQLRestriction("is_deleted = FALSE")
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class User {
+    private static final int LEAP_YEAR = 2000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -44,4 +49,26 @@ public class User {
     private String phoneNumber;
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+    @Column(name = "birth_day_of_year", nullable = false)
+    private Integer birthDayOfYear;
+
+    /***
+     * Day of year of the given date counted as in a leap year, so that the same
+     * month and day always map to the same value (1..366) regardless of the year.
+     * @param date The date to convert.
+     * @return The day of year in range 1..366.
+     */
+    public static int toBirthDayOfYear(LocalDate date) {
+        return date.withYear(LEAP_YEAR).getDayOfYear();
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void fillBirthDayOfYear() {
+        if (birthDate != null) {
+            birthDayOfYear = toBirthDayOfYear(birthDate);
+        }
+    }
 }
@@ -37,4 +37,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 new HttpHeaders(), HttpStatus.NOT_FOUND, webRequest);
     }
 
+    @ExceptionHandler(value = {IdempotencyException.class})
+    protected ResponseEntity<Object> handleIdempotencyKeyReuse(IdempotencyException ex,
+                                                               WebRequest request) {
+        String bodyOfResponse = ex.getMessage();
+        return handleExceptionInternal(ex, bodyOfResponse,
+                new HttpHeaders(), HttpStatus.UNPROCESSABLE_ENTITY, request);
+    }
+
+    @ExceptionHandler(value = {RequestInProgressException.class})
+    protected ResponseEntity<Object> handleRequestInProgress(RequestInProgressException ex,
+                                                             WebRequest request) {
+        String bodyOfResponse = ex.getMessage();
+        return handleExceptionInternal(ex, bodyOfResponse,
+                new HttpHeaders(), HttpStatus.CONFLICT, request);
+    }
+
 }
@@ -0,0 +1,7 @@
+package org.task.clearsolutions.exception;
+
+public class IdempotencyException extends RuntimeException {
+    public IdempotencyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.task.clearsolutions.exception;
+
+public class RequestInProgressException extends RuntimeException {
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package org.task.clearsolutions.idempotency;
+
+/***
+ * State recorded for an idempotency key. It holds only plain values, so a backend
+ * can keep it out of process by serializing the fingerprint, status and response.
+ */
+public record IdempotencyRecord(
+        String requestFingerprint,
+        IdempotencyStatus status,
+        Object response
+) {
+    public static IdempotencyRecord inProgress(String requestFingerprint) {
+        return new IdempotencyRecord(requestFingerprint, IdempotencyStatus.IN_PROGRESS, null);
+    }
+
+    public static IdempotencyRecord completed(String requestFingerprint, Object response) {
+        return new IdempotencyRecord(requestFingerprint, IdempotencyStatus.COMPLETED, response);
+    }
+
+    public boolean isCompleted() {
+        return status == IdempotencyStatus.COMPLETED;
+    }
+}
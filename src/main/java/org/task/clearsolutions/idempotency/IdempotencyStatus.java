@@ -0,0 +1,6 @@
+package org.task.clearsolutions.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,31 @@
+package org.task.clearsolutions.idempotency;
+
+public interface IdempotencyStore {
+    /***
+     * Store the in-progress record unless a live record with the same key is already stored.
+     * @param key The scoped idempotency key.
+     * @param record The in-progress record of the execution which is about to start.
+     * @return The already stored record, or null when the given record was stored.
+     */
+    IdempotencyRecord putIfAbsent(String key, IdempotencyRecord record);
+
+    /***
+     * Find the record stored for the key.
+     * @param key The scoped idempotency key.
+     * @return The stored record, or null when there is none.
+     */
+    IdempotencyRecord get(String key);
+
+    /***
+     * Replace the in-progress record with the completed one.
+     * @param key The scoped idempotency key.
+     * @param record The completed record with the response.
+     */
+    void complete(String key, IdempotencyRecord record);
+
+    /***
+     * Remove the record, so a retry with the same key is executed again.
+     * @param key The scoped idempotency key.
+     */
+    void remove(String key);
+}
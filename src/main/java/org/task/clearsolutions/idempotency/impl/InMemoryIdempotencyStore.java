@@ -0,0 +1,94 @@
+package org.task.clearsolutions.idempotency.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.task.clearsolutions.idempotency.IdempotencyRecord;
+import org.task.clearsolutions.idempotency.IdempotencyStore;
+
+/***
+ * Bounded in-process store. Completed records expire after the configured time to live and the
+ * oldest completed records are evicted once the store holds more than the configured number of keys.
+ * Records of executions still in progress are never expired or evicted, so the store may exceed
+ * the limit by the number of executions in progress.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<QueuedEntry> completionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration timeToLive, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    @Override
+    public IdempotencyRecord putIfAbsent(String key, IdempotencyRecord record) {
+        Instant now = clock.instant();
+        Entry created = new Entry(record, null);
+        Entry stored = entries.compute(key, (k, current) ->
+                current == null || current.isExpired(now) ? created : current);
+        return stored == created ? null : stored.record();
+    }
+
+    @Override
+    public IdempotencyRecord get(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.record();
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record) {
+        Entry completed = new Entry(record, clock.instant().plus(timeToLive));
+        entries.put(key, completed);
+        completionOrder.add(new QueuedEntry(key, completed));
+        evictOverflow();
+    }
+
+    @Override
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup_interval_ms}")
+    public void evictExpired() {
+        Instant now = clock.instant();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        completionOrder.removeIf(queued -> entries.get(queued.key()) != queued.entry());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /***
+     * Only completed records are queued, each at most once, so every poll drops a queue
+     * node and the eviction costs amortized constant time per completed record.
+     */
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            QueuedEntry oldest = completionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            entries.computeIfPresent(oldest.key(), (k, current) -> current == oldest.entry() ? null : current);
+        }
+    }
+
+    private record Entry(IdempotencyRecord record, Instant expiresAt) {
+        private boolean isExpired(Instant now) {
+            return record.isCompleted() && !now.isBefore(expiresAt);
+        }
+    }
+
+    private record QueuedEntry(String key, Entry entry) {
+    }
+}
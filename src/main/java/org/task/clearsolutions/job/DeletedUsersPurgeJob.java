@@ -0,0 +1,56 @@
+package org.task.clearsolutions.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.task.clearsolutions.service.UserArchiveService;
+
+/***
+ * Moves users soft-deleted longer than the retention window into the archive table.
+ * Every batch runs in its own short transaction and batches are throttled, so the
+ * users table is never locked for long. Batches are locked with SKIP LOCKED, so the job may
+ * run on every instance at the same time. The job is created eagerly, so it is scheduled
+ * under lazy initialization as well.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+public class DeletedUsersPurgeJob {
+    private final UserArchiveService userArchiveService;
+    @Value("${user.purge.retention_days}")
+    private Integer RETENTION_DAYS;
+    @Value("${user.purge.batch_size}")
+    private Integer BATCH_SIZE;
+    @Value("${user.purge.pause_between_batches_ms}")
+    private Long PAUSE_BETWEEN_BATCHES_MS;
+
+    @Scheduled(cron = "${user.purge.cron}")
+    public void purgeDeletedUsers() {
+        log.info("Archiving users deleted more than {} days ago", RETENTION_DAYS);
+        long totalArchived = 0;
+        int batches = 0;
+        int archived;
+        do {
+            archived = userArchiveService.archiveDeletedUsers(RETENTION_DAYS, BATCH_SIZE);
+            totalArchived += archived;
+            batches++;
+            log.info("Archived batch {}: {} users, {} in total", batches, archived, totalArchived);
+        } while (archived >= BATCH_SIZE && pause());
+        log.info("Finished archiving deleted users: {} users in {} batches", totalArchived, batches);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(PAUSE_BETWEEN_BATCHES_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Archiving deleted users was interrupted");
+            return false;
+        }
+    }
+}
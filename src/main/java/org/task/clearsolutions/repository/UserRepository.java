@@ -3,10 +3,16 @@ package org.task.clearsolutions.repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.task.clearsolutions.entity.User;
+import org.task.clearsolutions.repository.projection.AgeBracketCount;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -14,5 +20,54 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByPhoneNumber(String phoneNumber);
 
-    List<User> findAllByBirthDateBetween(LocalDate from, LocalDate to);
+    List<User> findAllByBirthDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    Slice<User> findSliceByBirthDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    long countByBirthDateBetween(LocalDate from, LocalDate to);
+
+    @Query(value = "SELECT COUNT(*) FROM ("
+            + "SELECT 1 FROM users "
+            + "WHERE is_deleted = FALSE AND birth_date BETWEEN :from AND :to "
+            + "LIMIT :cap) capped",
+            nativeQuery = true)
+    long countByBirthDateBetweenUpTo(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("cap") Integer cap);
+
+    @Query(value = "SELECT u FROM users u "
+            + "WHERE u.birthDayOfYear BETWEEN :from AND :to "
+            + "ORDER BY u.birthDayOfYear, u.id",
+            countQuery = "SELECT COUNT(u) FROM users u WHERE u.birthDayOfYear BETWEEN :from AND :to")
+    Page<User> findUpcomingBirthdaysWithinYear(@Param("from") Integer from, @Param("to") Integer to, Pageable pageable);
+
+    @Query(value = "SELECT u FROM users u "
+            + "WHERE u.birthDayOfYear >= :from OR u.birthDayOfYear <= :to "
+            + "ORDER BY CASE WHEN u.birthDayOfYear >= :from THEN 0 ELSE 1 END, u.birthDayOfYear, u.id",
+            countQuery = "SELECT COUNT(u) FROM users u WHERE u.birthDayOfYear >= :from OR u.birthDayOfYear <= :to")
+    Page<User> findUpcomingBirthdaysAcrossYearEnd(@Param("from") Integer from, @Param("to") Integer to, Pageable pageable);
+
+    @Query(value = "SELECT TIMESTAMPDIFF(YEAR, birth_date, :today) DIV :width * :width AS bracketStart, "
+            + "COUNT(*) AS total "
+            + "FROM users WHERE is_deleted = FALSE "
+            + "GROUP BY bracketStart ORDER BY bracketStart",
+            nativeQuery = true)
+    List<AgeBracketCount> countGroupedByAgeBracket(@Param("today") LocalDate today, @Param("width") Integer width);
+
+    @Query(value = "SELECT id FROM users "
+            + "WHERE is_deleted = TRUE AND deleted_at < NOW() - INTERVAL :retentionDays DAY "
+            + "ORDER BY deleted_at, id LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockSoftDeletedIdsOlderThan(@Param("retentionDays") Integer retentionDays, @Param("limit") Integer limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO users_archive "
+            + "(id, email, first_name, last_name, birth_date, address, phone_number, deleted_at, archived_at) "
+            + "SELECT id, email, first_name, last_name, birth_date, address, phone_number, deleted_at, NOW() "
+            + "FROM users WHERE id IN (:ids) AND is_deleted = TRUE",
+            nativeQuery = true)
+    int copySoftDeletedToArchive(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id IN (:ids) AND is_deleted = TRUE", nativeQuery = true)
+    int purgeSoftDeleted(@Param("ids") List<Long> ids);
 }
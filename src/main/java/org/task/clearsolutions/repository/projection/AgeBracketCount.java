@@ -0,0 +1,7 @@
+package org.task.clearsolutions.repository.projection;
+
+public interface AgeBracketCount {
+    Integer getBracketStart();
+
+    Long getTotal();
+}
@@ -0,0 +1,16 @@
+package org.task.clearsolutions.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    /***
+     * Execute the action once per idempotency key. Retries with the same key get the recorded
+     * response, and concurrent duplicates wait for the first execution to finish.
+     * @param idempotencyKey The key sent by the client. The action is always executed when it is empty.
+     * @param operation The operation the key is scoped to, e.g. "PUT /users/1".
+     * @param request The request payload. A retry with the same key must send the same payload.
+     * @param action The action to be executed.
+     * @return The result of the first execution.
+     */
+    <T> T execute(String idempotencyKey, String operation, Object request, Supplier<T> action);
+}
@@ -0,0 +1,13 @@
+package org.task.clearsolutions.service;
+
+public interface UserArchiveService {
+    /***
+     * Move one batch of soft-deleted users into the archive table and remove them from the users table.
+     * Rows of the batch are locked and rows locked by another instance are skipped,
+     * so several instances can archive at the same time.
+     * @param retentionDays Only users soft-deleted more than this number of days ago are archived.
+     * @param batchSize Maximum number of users to archive in this batch.
+     * @return The number of archived users.
+     */
+    int archiveDeletedUsers(Integer retentionDays, Integer batchSize);
+}
@@ -2,9 +2,13 @@ package org.task.clearsolutions.service;
 
 import jakarta.validation.constraints.Past;
 import java.time.LocalDate;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.task.clearsolutions.dto.AgeBracketDto;
+import org.task.clearsolutions.dto.CountMode;
+import org.task.clearsolutions.dto.PageResponseDto;
 import org.task.clearsolutions.dto.UserRequestDto;
 import org.task.clearsolutions.dto.UserResponseDto;
 
@@ -40,10 +44,33 @@ public interface UserService {
     void deleteById(Long id);
 
     /***
-     * Search for users by birthdate range.
+     * Search for users by birthdate range, counting the total as requested.
      * @param from Range date start.
      * @param to Range date end.
+     * @param countMode How the total number of users is counted.
+     * @return A PageResponseDto object, without the total when it is not counted.
+     */
+    PageResponseDto<UserResponseDto> searchUsersByBirthdateBetween(@Past LocalDate from, @Past LocalDate to, Pageable pageable, CountMode countMode);
+
+    /***
+     * Search for users whose birthday falls within the next days, wrapping across the year end.
+     * @param days Number of days ahead of today to include.
      * @return A page of UserResponseDto objects.
      */
-    Page<UserResponseDto> searchUsersByBirthdateBetween(@Past LocalDate from, @Past LocalDate to, Pageable pageable);
+    Page<UserResponseDto> searchUpcomingBirthdays(Integer days, Pageable pageable);
+
+    /***
+     * Count users whose age is within the given bracket (both bounds inclusive).
+     * @param minAge Bracket lower age.
+     * @param maxAge Bracket upper age.
+     * @return The AgeBracketDto object with the number of users.
+     */
+    AgeBracketDto countUsersByAgeBetween(Integer minAge, Integer maxAge);
+
+    /***
+     * Build a histogram of users by age brackets of the same width.
+     * @param bracketWidth Number of years in each bracket.
+     * @return A list of non-empty AgeBracketDto objects ordered by age.
+     */
+    List<AgeBracketDto> getAgeHistogram(Integer bracketWidth);
 }
@@ -0,0 +1,116 @@
+package org.task.clearsolutions.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.task.clearsolutions.exception.IdempotencyException;
+import org.task.clearsolutions.exception.RequestInProgressException;
+import org.task.clearsolutions.idempotency.IdempotencyRecord;
+import org.task.clearsolutions.idempotency.IdempotencyStore;
+import org.task.clearsolutions.service.IdempotencyService;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final String MESSAGE_FOR_IDEMPOTENCY_EXCEPTION = "Idempotency key %s was already used with another request";
+    private static final String MESSAGE_FOR_REQUEST_IN_PROGRESS_EXCEPTION = "Request with idempotency key %s is still in progress";
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, CompletableFuture<Void>> completions = new ConcurrentHashMap<>();
+    @Value("${idempotency.wait_timeout_ms}")
+    private Long WAIT_TIMEOUT_MS;
+
+    @Override
+    public <T> T execute(String idempotencyKey, String operation, Object request, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = operation + ":" + idempotencyKey;
+        String requestFingerprint = fingerprint(request);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WAIT_TIMEOUT_MS);
+        while (true) {
+            IdempotencyRecord existing = idempotencyStore.putIfAbsent(key, IdempotencyRecord.inProgress(requestFingerprint));
+            if (existing == null) {
+                return executeOnce(key, requestFingerprint, action);
+            }
+            if (!existing.requestFingerprint().equals(requestFingerprint)) {
+                throw new IdempotencyException(String.format(MESSAGE_FOR_IDEMPOTENCY_EXCEPTION, idempotencyKey));
+            }
+            if (existing.isCompleted()) {
+                return castResponse(existing);
+            }
+            awaitCompletion(key, deadline, idempotencyKey);
+        }
+    }
+
+    private <T> T executeOnce(String key, String requestFingerprint, Supplier<T> action) {
+        boolean completed = false;
+        try {
+            T response = action.get();
+            idempotencyStore.complete(key, IdempotencyRecord.completed(requestFingerprint, response));
+            completed = true;
+            return response;
+        } finally {
+            if (!completed) {
+                idempotencyStore.remove(key);
+            }
+            CompletableFuture<Void> completion = completions.remove(key);
+            if (completion != null) {
+                completion.complete(null);
+            }
+        }
+    }
+
+    /***
+     * Waits until the execution in progress completes or fails. Executions in this instance signal
+     * their waiters directly, executions in other instances are noticed by polling the store.
+     */
+    private void awaitCompletion(String key, long deadline, String idempotencyKey) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new RequestInProgressException(String.format(MESSAGE_FOR_REQUEST_IN_PROGRESS_EXCEPTION, idempotencyKey));
+        }
+        CompletableFuture<Void> completion = completions.computeIfAbsent(key, k -> new CompletableFuture<>());
+        IdempotencyRecord current = idempotencyStore.get(key);
+        if (current == null || current.isCompleted()) {
+            completions.remove(key, completion);
+            return;
+        }
+        try {
+            completion.get(Math.min(remaining, POLL_INTERVAL_NANOS), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // check the store again
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException(String.format(MESSAGE_FOR_REQUEST_IN_PROGRESS_EXCEPTION, idempotencyKey));
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't fingerprint request", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T castResponse(IdempotencyRecord record) {
+        return (T) record.response();
+    }
+}
@@ -0,0 +1,25 @@
+package org.task.clearsolutions.service.impl;
+
+import jakarta.transaction.Transactional;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.task.clearsolutions.repository.UserRepository;
+import org.task.clearsolutions.service.UserArchiveService;
+
+@Service
+@RequiredArgsConstructor
+public class UserArchiveServiceImpl implements UserArchiveService {
+    private final UserRepository userRepository;
+
+    @Transactional
+    @Override
+    public int archiveDeletedUsers(Integer retentionDays, Integer batchSize) {
+        List<Long> ids = userRepository.lockSoftDeletedIdsOlderThan(retentionDays, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        userRepository.copySoftDeletedToArchive(ids);
+        return userRepository.purgeSoftDeleted(ids);
+    }
+}
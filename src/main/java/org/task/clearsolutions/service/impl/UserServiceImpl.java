@@ -3,15 +3,24 @@ package org.task.clearsolutions.service.impl;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Past;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.task.clearsolutions.dto.AgeBracketDto;
+import org.task.clearsolutions.dto.CountMode;
+import org.task.clearsolutions.dto.PageResponseDto;
 import org.task.clearsolutions.dto.UserRequestDto;
 import org.task.clearsolutions.dto.UserResponseDto;
 import org.task.clearsolutions.entity.User;
@@ -28,11 +37,20 @@ public class UserServiceImpl implements UserService {
     private static final String MESSAGE_FOR_REGISTRATION_EXCEPTION_PHONE_EMAIL = "Can't register user. User with same email or phone number was registered";
     private static final String MESSAGE_FOR_REGISTRATION_EXCEPTION_YOUNGER_THAN_ALLOWED = "Can't register user. User must be older than %d";
     private static final String MESSAGE_FOR_UPDATE_EXCEPTION_YOUNGER_THAN_ALLOWED = "Can't update user. User must be older than %d";
+    private static final String MESSAGE_FOR_BIRTHDAY_WINDOW_NOT_FOUND = "Can't find users with birthday in this period";
+    private static final String MESSAGE_FOR_AGE_BRACKET_NOT_FOUND = "Can't find users in this age bracket";
+    private static final int DAYS_IN_YEAR = 365;
+    private static final int MAX_AGE = 150;
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    @Qualifier("searchExecutor")
+    private final Executor searchExecutor;
+    private final Clock clock;
     @Value("${user.min_age}")
     private Integer MIN_AGE_ALLOWED_TO_REGISTER;
+    @Value("${user.search.approximate_count_cap}")
+    private Integer APPROXIMATE_COUNT_CAP;
 
     @Transactional
     @Override
@@ -85,15 +103,107 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Page<UserResponseDto> searchUsersByBirthdateBetween(@Past LocalDate from, @Past LocalDate to, Pageable pageable) {
-        if (from.isBefore(to)) {
-            List<UserResponseDto> userResponseDtos = userRepository.findAllByBirthDateBetween(from, to)
+    public PageResponseDto<UserResponseDto> searchUsersByBirthdateBetween(@Past LocalDate from, @Past LocalDate to, Pageable pageable, CountMode countMode) {
+        checkBirthdateRange(from, to);
+        return switch (countMode) {
+            case EXACT -> PageResponseDto.of(
+                    searchPage(from, to, pageable, () -> userRepository.countByBirthDateBetween(from, to)), false);
+            case APPROXIMATE -> {
+                Page<UserResponseDto> page = searchPage(from, to, pageable,
+                        () -> userRepository.countByBirthDateBetweenUpTo(from, to, APPROXIMATE_COUNT_CAP));
+                yield PageResponseDto.of(page, isCappedTotal(page, pageable));
+            }
+            case NONE -> PageResponseDto.of(
+                    userRepository.findSliceByBirthDateBetween(from, to, pageable).map(userMapper::toDto));
+        };
+    }
+
+    @Override
+    public Page<UserResponseDto> searchUpcomingBirthdays(Integer days, Pageable pageable) {
+        if (days < 0) {
+            throw new EntityNotFoundException(MESSAGE_FOR_BIRTHDAY_WINDOW_NOT_FOUND);
+        }
+        LocalDate today = LocalDate.now(clock);
+        int from = User.toBirthDayOfYear(today);
+        int to = days >= DAYS_IN_YEAR ? from - 1 : User.toBirthDayOfYear(today.plusDays(days));
+        Page<User> users = from <= to
+                ? userRepository.findUpcomingBirthdaysWithinYear(from, to, pageable)
+                : userRepository.findUpcomingBirthdaysAcrossYearEnd(from, to, pageable);
+        return users.map(userMapper::toDto);
+    }
+
+    @Override
+    public AgeBracketDto countUsersByAgeBetween(Integer minAge, Integer maxAge) {
+        if (minAge < 0 || minAge > maxAge) {
+            throw new EntityNotFoundException(MESSAGE_FOR_AGE_BRACKET_NOT_FOUND);
+        }
+        if (minAge > MAX_AGE) {
+            return new AgeBracketDto(minAge, maxAge, 0L);
+        }
+        LocalDate today = LocalDate.now(clock);
+        LocalDate bornFrom = today.minusYears(Math.min(maxAge, MAX_AGE) + 1L).plusDays(1);
+        LocalDate bornTo = today.minusYears(minAge);
+        return new AgeBracketDto(minAge, maxAge, userRepository.countByBirthDateBetween(bornFrom, bornTo));
+    }
+
+    @Override
+    public List<AgeBracketDto> getAgeHistogram(Integer bracketWidth) {
+        if (bracketWidth <= 0) {
+            throw new EntityNotFoundException(MESSAGE_FOR_AGE_BRACKET_NOT_FOUND);
+        }
+        return userRepository.countGroupedByAgeBracket(LocalDate.now(clock), bracketWidth)
+                .stream()
+                .map(bracket -> new AgeBracketDto(
+                        bracket.getBracketStart(),
+                        bracket.getBracketStart() + bracketWidth - 1,
+                        bracket.getTotal()))
+                .toList();
+    }
+
+    private void checkBirthdateRange(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new EntityNotFoundException("Can't find users in this period");
+        }
+    }
+
+    /***
+     * Runs the content and count queries concurrently, each on its own connection. The count is
+     * cancelled if it is still queued when the content alone shows the total, e.g. on the last page.
+     */
+    private Page<UserResponseDto> searchPage(LocalDate from, LocalDate to, Pageable pageable, Supplier<Long> countQuery) {
+        CompletableFuture<List<User>> content = CompletableFuture.supplyAsync(
+                () -> userRepository.findAllByBirthDateBetween(from, to, pageable), searchExecutor);
+        CompletableFuture<Long> total = CompletableFuture.supplyAsync(countQuery, searchExecutor);
+        try {
+            List<UserResponseDto> userResponseDtos = join(content)
                     .stream()
                     .map(userMapper::toDto)
                     .toList();
-            return new PageImpl<>(userResponseDtos, pageable, userResponseDtos.size());
+            return PageableExecutionUtils.getPage(userResponseDtos, pageable, () -> join(total));
+        } finally {
+            total.cancel(false);
+        }
+    }
+
+    /***
+     * The total is exact when the content alone determined it (a page that is not full),
+     * otherwise a total at the cap only means there are at least that many users.
+     */
+    private boolean isCappedTotal(Page<UserResponseDto> page, Pageable pageable) {
+        return pageable.isPaged()
+                && page.getNumberOfElements() == pageable.getPageSize()
+                && page.getTotalElements() >= APPROXIMATE_COUNT_CAP;
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
-        throw new EntityNotFoundException("Can't find users in this period");
     }
 
     private Integer calculateAge(LocalDate birthDate) {
@@ -0,0 +1,86 @@
+package org.task.clearsolutions.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.web.servlet.MockMvc;
+import org.task.clearsolutions.dto.CountMode;
+import org.task.clearsolutions.dto.PageResponseDto;
+import org.task.clearsolutions.dto.UserResponseDto;
+import org.task.clearsolutions.service.IdempotencyService;
+import org.task.clearsolutions.service.UserService;
+
+@WebMvcTest(UserController.class)
+class UserControllerTest {
+    private static final UserResponseDto USER_RESPONSE_DTO = new UserResponseDto(
+            1L,
+            "email@email.com",
+            "user",
+            "lastUser",
+            LocalDate.of(2000, Month.DECEMBER, 1),
+            "Lviv, Market Square",
+            "+380501235078"
+    );
+    private static final Pageable PAGEABLE = PageRequest.of(0, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @Test
+    @DisplayName("Testing to search users with exact count. Response should contain the total")
+    void getUsersByBirthdateBetween_ExactCount_ShouldReturnTotal() throws Exception {
+        when(userService.searchUsersByBirthdateBetween(any(LocalDate.class), any(LocalDate.class), any(Pageable.class), eq(CountMode.EXACT)))
+                .thenReturn(PageResponseDto.of(new PageImpl<>(List.of(USER_RESPONSE_DTO), PAGEABLE, 5), false));
+
+        mockMvc.perform(get("/users").param("from", "1990-01-01").param("to", "2000-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andExpect(jsonPath("$.totalPages").value(5))
+                .andExpect(jsonPath("$.totalIsLowerBound").value(false));
+    }
+
+    @Test
+    @DisplayName("Testing to search users with approximate count. Response should mark the total as lower bound")
+    void getUsersByBirthdateBetween_ApproximateCount_ShouldReturnLowerBound() throws Exception {
+        when(userService.searchUsersByBirthdateBetween(any(LocalDate.class), any(LocalDate.class), any(Pageable.class), eq(CountMode.APPROXIMATE)))
+                .thenReturn(PageResponseDto.of(new PageImpl<>(List.of(USER_RESPONSE_DTO), PAGEABLE, 10000), true));
+
+        mockMvc.perform(get("/users").param("from", "1990-01-01").param("to", "2000-01-01").param("count", "APPROXIMATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(10000))
+                .andExpect(jsonPath("$.totalIsLowerBound").value(true));
+    }
+
+    @Test
+    @DisplayName("Testing to search users without count. Response should not contain the total")
+    void getUsersByBirthdateBetween_NoCount_ShouldReturnSlice() throws Exception {
+        when(userService.searchUsersByBirthdateBetween(any(LocalDate.class), any(LocalDate.class), any(Pageable.class), eq(CountMode.NONE)))
+                .thenReturn(PageResponseDto.of(new SliceImpl<>(List.of(USER_RESPONSE_DTO), PAGEABLE, true)));
+
+        mockMvc.perform(get("/users").param("from", "1990-01-01").param("to", "2000-01-01").param("count", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+}
@@ -0,0 +1,117 @@
+package org.task.clearsolutions.idempotency.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.clearsolutions.idempotency.IdempotencyRecord;
+
+class InMemoryIdempotencyStoreTest {
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+    private static final String FINGERPRINT = "fingerprint";
+
+    @Test
+    @DisplayName("Testing to store a record with a key which is already stored")
+    void putIfAbsent_KeyStored_ShouldReturnStoredRecord() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(10, TIME_TO_LIVE, clockAt(NOW));
+        IdempotencyRecord stored = inProgress();
+
+        assertNull(store.putIfAbsent("key", stored));
+        assertSame(stored, store.putIfAbsent("key", inProgress()));
+    }
+
+    @Test
+    @DisplayName("Testing to complete a record. Should return the completed record")
+    void complete_KeyInProgress_ShouldReplaceRecord() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(10, TIME_TO_LIVE, clockAt(NOW));
+        IdempotencyRecord completed = completed();
+        store.putIfAbsent("key", inProgress());
+        store.complete("key", completed);
+
+        assertSame(completed, store.get("key"));
+        assertSame(completed, store.putIfAbsent("key", inProgress()));
+    }
+
+    @Test
+    @DisplayName("Testing to store a record with a key which is expired")
+    void putIfAbsent_KeyExpired_ShouldReplaceRecord() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(10, Duration.ZERO, clockAt(NOW));
+        store.putIfAbsent("key", inProgress());
+        store.complete("key", completed());
+
+        assertNull(store.putIfAbsent("key", inProgress()));
+    }
+
+    @Test
+    @DisplayName("Testing to store a record with a key which is still in progress. Should never expire")
+    void putIfAbsent_KeyInProgress_ShouldReturnStoredRecord() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(10, Duration.ZERO, clockAt(NOW));
+        IdempotencyRecord stored = inProgress();
+        store.putIfAbsent("key", stored);
+        store.evictExpired();
+
+        assertSame(stored, store.putIfAbsent("key", inProgress()));
+    }
+
+    @Test
+    @DisplayName("Testing to store more records than allowed. Should evict the oldest completed")
+    void complete_StoreIsFull_ShouldEvictOldestRecord() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2, TIME_TO_LIVE, clockAt(NOW));
+        storeCompleted(store, "first");
+        storeCompleted(store, "second");
+        storeCompleted(store, "third");
+
+        assertEquals(2, store.size());
+        assertNull(store.putIfAbsent("first", inProgress()));
+    }
+
+    @Test
+    @DisplayName("Testing to store more records than allowed. Should not evict records in progress")
+    void complete_StoreIsFull_ShouldKeepRecordsInProgress() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(1, TIME_TO_LIVE, clockAt(NOW));
+        IdempotencyRecord stored = inProgress();
+        store.putIfAbsent("first", stored);
+        storeCompleted(store, "second");
+
+        assertSame(stored, store.putIfAbsent("first", inProgress()));
+    }
+
+    @Test
+    @DisplayName("Testing to evict after a key was completed again. Should keep the newer record")
+    void complete_KeyCompletedAgain_ShouldKeepNewRecord() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2, Duration.ZERO, clockAt(NOW));
+        storeCompleted(store, "key");
+        storeCompleted(store, "second");
+        IdempotencyRecord retried = completed();
+        store.putIfAbsent("key", inProgress());
+        store.complete("key", retried);
+        storeCompleted(store, "third");
+
+        assertEquals(2, store.size());
+        assertSame(retried, store.get("key"));
+    }
+
+    private static void storeCompleted(InMemoryIdempotencyStore store, String key) {
+        store.putIfAbsent(key, inProgress());
+        store.complete(key, completed());
+    }
+
+    private static IdempotencyRecord inProgress() {
+        return IdempotencyRecord.inProgress(FINGERPRINT);
+    }
+
+    private static IdempotencyRecord completed() {
+        return IdempotencyRecord.completed(FINGERPRINT, "response");
+    }
+
+    private static Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,60 @@
+package org.task.clearsolutions.job;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.task.clearsolutions.service.UserArchiveService;
+
+@ExtendWith(MockitoExtension.class)
+class DeletedUsersPurgeJobTest {
+    private static final Integer RETENTION_DAYS = 30;
+    private static final Integer BATCH_SIZE = 2;
+
+    @Mock
+    private UserArchiveService userArchiveService;
+    @InjectMocks
+    private DeletedUsersPurgeJob deletedUsersPurgeJob;
+
+    @BeforeEach
+    void beforeEach() throws NoSuchFieldException, IllegalAccessException {
+        setField("RETENTION_DAYS", RETENTION_DAYS);
+        setField("BATCH_SIZE", BATCH_SIZE);
+        setField("PAUSE_BETWEEN_BATCHES_MS", 0L);
+    }
+
+    @Test
+    @DisplayName("Testing to archive deleted users until the last incomplete batch")
+    void purgeDeletedUsers_SeveralBatches_ShouldStopAfterIncompleteBatch() {
+        when(userArchiveService.archiveDeletedUsers(RETENTION_DAYS, BATCH_SIZE))
+                .thenReturn(2, 2, 1);
+
+        deletedUsersPurgeJob.purgeDeletedUsers();
+
+        verify(userArchiveService, times(3)).archiveDeletedUsers(RETENTION_DAYS, BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Testing to archive deleted users when there is nothing to archive")
+    void purgeDeletedUsers_NothingToArchive_ShouldRunOneBatch() {
+        when(userArchiveService.archiveDeletedUsers(RETENTION_DAYS, BATCH_SIZE)).thenReturn(0);
+
+        deletedUsersPurgeJob.purgeDeletedUsers();
+
+        verify(userArchiveService).archiveDeletedUsers(RETENTION_DAYS, BATCH_SIZE);
+    }
+
+    private void setField(String name, Object value) throws NoSuchFieldException, IllegalAccessException {
+        Field field = DeletedUsersPurgeJob.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(deletedUsersPurgeJob, value);
+    }
+}
@@ -0,0 +1,161 @@
+package org.task.clearsolutions.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Field;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.clearsolutions.exception.IdempotencyException;
+import org.task.clearsolutions.exception.RegistrationException;
+import org.task.clearsolutions.exception.RequestInProgressException;
+import org.task.clearsolutions.idempotency.impl.InMemoryIdempotencyStore;
+
+class IdempotencyServiceTest {
+    private static final String IDEMPOTENCY_KEY = "key";
+    private static final String OPERATION = "POST /users/register";
+    private static final String REQUEST = "request";
+    private static final Long WAIT_TIMEOUT_MS = 200L;
+
+    private IdempotencyServiceImpl idempotencyService;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void beforeEach() throws NoSuchFieldException, IllegalAccessException {
+        idempotencyService = new IdempotencyServiceImpl(
+                new InMemoryIdempotencyStore(100, Duration.ofMinutes(1), Clock.systemUTC()),
+                new ObjectMapper());
+        executions = new AtomicInteger();
+
+        Field field = IdempotencyServiceImpl.class.getDeclaredField("WAIT_TIMEOUT_MS");
+        field.setAccessible(true);
+        field.set(idempotencyService, WAIT_TIMEOUT_MS);
+    }
+
+    @Test
+    @DisplayName("Testing to retry with the same key. Should return recorded response")
+    void execute_SameKey_ShouldExecuteOnce() {
+        String first = idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST, this::respond);
+        String retry = idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST, this::respond);
+
+        assertEquals(first, retry);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Testing to execute without key. Should execute every time")
+    void execute_NoKey_ShouldExecuteEveryTime() {
+        idempotencyService.execute(null, OPERATION, REQUEST, this::respond);
+        idempotencyService.execute(null, OPERATION, REQUEST, this::respond);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Testing to reuse key with another request. Should throw exception(IdempotencyException)")
+    void execute_SameKeyAnotherRequest_ShouldThrowException() {
+        idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST, this::respond);
+
+        assertThrows(IdempotencyException.class,
+                () -> idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, "another request", this::respond));
+    }
+
+    @Test
+    @DisplayName("Testing to retry after failed execution. Should execute again")
+    void execute_FirstExecutionFailed_ShouldExecuteAgain() {
+        assertThrows(RegistrationException.class, () -> idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST,
+                () -> {
+                    throw new RegistrationException("failed");
+                }));
+
+        idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST, this::respond);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Testing to retry after execution failed with an error. Should execute again")
+    void execute_FirstExecutionFailedWithError_ShouldExecuteAgain() {
+        assertThrows(AssertionError.class, () -> idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST,
+                () -> {
+                    throw new AssertionError("failed");
+                }));
+
+        idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST, this::respond);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Testing concurrent duplicates. Should wait for the first execution")
+    void execute_ConcurrentDuplicates_ShouldExecuteOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST,
+                    () -> {
+                        started.countDown();
+                        await(release);
+                        return respond();
+                    }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<String> duplicate = executor.submit(() ->
+                    idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST, this::respond));
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Testing concurrent duplicate when the first execution hangs. Should throw exception(RequestInProgressException)")
+    void execute_FirstExecutionHangs_ShouldThrowException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST,
+                    () -> {
+                        started.countDown();
+                        await(release);
+                        return respond();
+                    }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThrows(RequestInProgressException.class,
+                    () -> idempotencyService.execute(IDEMPOTENCY_KEY, OPERATION, REQUEST, this::respond));
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String respond() {
+        return "response " + executions.incrementAndGet();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
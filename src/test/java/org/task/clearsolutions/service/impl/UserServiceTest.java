@@ -1,21 +1,30 @@
 package org.task.clearsolutions.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import jakarta.persistence.EntityNotFoundException;
 import java.lang.reflect.Field;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Month;
-import java.util.Arrays;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,6 +36,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.task.clearsolutions.dto.AgeBracketDto;
+import org.task.clearsolutions.dto.CountMode;
+import org.task.clearsolutions.dto.PageResponseDto;
 import org.task.clearsolutions.dto.UserRequestDto;
 import org.task.clearsolutions.dto.UserResponseDto;
 import org.task.clearsolutions.entity.User;
@@ -34,6 +47,7 @@ import org.task.clearsolutions.exception.RegistrationException;
 import org.task.clearsolutions.exception.UpdateException;
 import org.task.clearsolutions.mapper.UserMapper;
 import org.task.clearsolutions.repository.UserRepository;
+import org.task.clearsolutions.repository.projection.AgeBracketCount;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -47,11 +61,16 @@ class UserServiceTest {
     private static User user;
     private static UserRequestDto userRequestDto;
     private static UserResponseDto userResponseDto;
+    private static final Integer APPROXIMATE_COUNT_CAP = 100;
 
     @Mock
     private UserRepository userRepository;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private Executor searchExecutor;
+    @Mock
+    private Clock clock;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -89,6 +108,10 @@ class UserServiceTest {
         Field field = UserServiceImpl.class.getDeclaredField("MIN_AGE_ALLOWED_TO_REGISTER");
         field.setAccessible(true);
         field.set(userService, 18);
+
+        Field countCapField = UserServiceImpl.class.getDeclaredField("APPROXIMATE_COUNT_CAP");
+        countCapField.setAccessible(true);
+        countCapField.set(userService, APPROXIMATE_COUNT_CAP);
     }
 
     @Test
@@ -227,16 +250,129 @@ class UserServiceTest {
         LocalDate from = LocalDate.now().minusYears(30);
         LocalDate to = LocalDate.now().minusYears(20);
         Pageable pageable = PageRequest.of(0, 10);
+        List<Runnable> deferredTasks = runFirstTaskOnly();
 
-        List<User> users = Arrays.asList(user);
-        Page<User> userPage = new PageImpl<>(users, pageable, users.size());
+        when(userRepository.findAllByBirthDateBetween(from, to, pageable)).thenReturn(List.of(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
 
-        when(userRepository.findAllByBirthDateBetween(from, to)).thenReturn(userPage.stream().toList());
+        PageResponseDto<UserResponseDto> response = userService.searchUsersByBirthdateBetween(from, to, pageable, CountMode.EXACT);
+        deferredTasks.forEach(Runnable::run);
 
-        Page<UserResponseDto> response = userService.searchUsersByBirthdateBetween(from, to, pageable);
+        assertEquals(1, response.totalElements());
+        assertFalse(response.totalIsLowerBound());
+        verify(userRepository).findAllByBirthDateBetween(from, to, pageable);
+        verify(userRepository, never()).countByBirthDateBetween(from, to);
+    }
 
-        assertEquals(1, response.getTotalElements());
-        verify(userRepository).findAllByBirthDateBetween(from, to);
+    @Test
+    @DisplayName("Testing to search users in period when there are more pages. Should count users")
+    public void searchUsersByBirthdateBetween_FullPage_ShouldCountUsers() {
+        LocalDate from = LocalDate.now().minusYears(30);
+        LocalDate to = LocalDate.now().minusYears(20);
+        Pageable pageable = PageRequest.of(0, 2);
+        runTasksInline();
+
+        when(userRepository.findAllByBirthDateBetween(from, to, pageable)).thenReturn(List.of(user, user));
+        when(userRepository.countByBirthDateBetween(from, to)).thenReturn(5L);
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        PageResponseDto<UserResponseDto> response = userService.searchUsersByBirthdateBetween(from, to, pageable, CountMode.EXACT);
+
+        assertEquals(5, response.totalElements());
+        assertEquals(2, response.content().size());
+    }
+
+    @Test
+    @DisplayName("Testing to search users in period with approximate count")
+    public void searchUsersByBirthdateBetween_ApproximateCount_ShouldCountUpToCap() {
+        LocalDate from = LocalDate.now().minusYears(30);
+        LocalDate to = LocalDate.now().minusYears(20);
+        Pageable pageable = PageRequest.of(0, 2);
+        runTasksInline();
+
+        when(userRepository.findAllByBirthDateBetween(from, to, pageable)).thenReturn(List.of(user, user));
+        when(userRepository.countByBirthDateBetweenUpTo(from, to, APPROXIMATE_COUNT_CAP)).thenReturn(100L);
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        PageResponseDto<UserResponseDto> response = userService.searchUsersByBirthdateBetween(from, to, pageable, CountMode.APPROXIMATE);
+
+        assertEquals(100, response.totalElements());
+        assertTrue(response.totalIsLowerBound());
+        verify(userRepository, never()).countByBirthDateBetween(from, to);
+    }
+
+    @Test
+    @DisplayName("Testing to search users in period with approximate count on the page at the cap. Should have next page")
+    public void searchUsersByBirthdateBetween_ApproximateCountPageAtCap_ShouldHaveNext() {
+        LocalDate from = LocalDate.now().minusYears(30);
+        LocalDate to = LocalDate.now().minusYears(20);
+        Pageable pageable = PageRequest.of(49, 2);
+        runTasksInline();
+
+        when(userRepository.findAllByBirthDateBetween(from, to, pageable)).thenReturn(List.of(user, user));
+        when(userRepository.countByBirthDateBetweenUpTo(from, to, APPROXIMATE_COUNT_CAP)).thenReturn(100L);
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        PageResponseDto<UserResponseDto> response = userService.searchUsersByBirthdateBetween(from, to, pageable, CountMode.APPROXIMATE);
+
+        assertTrue(response.totalIsLowerBound());
+        assertTrue(response.hasNext());
+    }
+
+    @Test
+    @DisplayName("Testing to search users in period with approximate count past the cap. Should have next page")
+    public void searchUsersByBirthdateBetween_ApproximateCountPagePastCap_ShouldHaveNext() {
+        LocalDate from = LocalDate.now().minusYears(30);
+        LocalDate to = LocalDate.now().minusYears(20);
+        Pageable pageable = PageRequest.of(60, 2);
+        runTasksInline();
+
+        when(userRepository.findAllByBirthDateBetween(from, to, pageable)).thenReturn(List.of(user, user));
+        when(userRepository.countByBirthDateBetweenUpTo(from, to, APPROXIMATE_COUNT_CAP)).thenReturn(100L);
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        PageResponseDto<UserResponseDto> response = userService.searchUsersByBirthdateBetween(from, to, pageable, CountMode.APPROXIMATE);
+
+        assertEquals(122, response.totalElements());
+        assertTrue(response.totalIsLowerBound());
+        assertTrue(response.hasNext());
+    }
+
+    @Test
+    @DisplayName("Testing to search users in period with approximate count on the last page past the cap. Should be exact")
+    public void searchUsersByBirthdateBetween_ApproximateCountLastPagePastCap_ShouldNotHaveNext() {
+        LocalDate from = LocalDate.now().minusYears(30);
+        LocalDate to = LocalDate.now().minusYears(20);
+        Pageable pageable = PageRequest.of(60, 2);
+        runTasksInline();
+
+        when(userRepository.findAllByBirthDateBetween(from, to, pageable)).thenReturn(List.of(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        PageResponseDto<UserResponseDto> response = userService.searchUsersByBirthdateBetween(from, to, pageable, CountMode.APPROXIMATE);
+
+        assertEquals(121, response.totalElements());
+        assertFalse(response.totalIsLowerBound());
+        assertFalse(response.hasNext());
+    }
+
+    @Test
+    @DisplayName("Testing to search users in period without count")
+    public void searchUsersByBirthdateBetween_NoCount_ShouldReturnSlice() {
+        LocalDate from = LocalDate.now().minusYears(30);
+        LocalDate to = LocalDate.now().minusYears(20);
+        Pageable pageable = PageRequest.of(0, 1);
+
+        when(userRepository.findSliceByBirthDateBetween(from, to, pageable))
+                .thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        PageResponseDto<UserResponseDto> response = userService.searchUsersByBirthdateBetween(from, to, pageable, CountMode.NONE);
+
+        assertEquals(List.of(userResponseDto), response.content());
+        assertTrue(response.hasNext());
+        assertNull(response.totalElements());
+        verify(userRepository, never()).countByBirthDateBetween(from, to);
     }
 
     @Test
@@ -246,6 +382,151 @@ class UserServiceTest {
         LocalDate to = LocalDate.now().minusYears(30);
         Pageable pageable = PageRequest.of(0, 10);
 
-        assertThrows(EntityNotFoundException.class, () -> userService.searchUsersByBirthdateBetween(from, to, pageable));
+        assertThrows(EntityNotFoundException.class, () -> userService.searchUsersByBirthdateBetween(from, to, pageable, CountMode.EXACT));
+    }
+
+    @Test
+    @DisplayName("Testing to search upcoming birthdays inside one year")
+    public void searchUpcomingBirthdays_WindowInsideYear_ShouldQueryRange() {
+        Pageable pageable = PageRequest.of(0, 10);
+        fixClock(LocalDate.of(2024, Month.JUNE, 1));
+
+        when(userRepository.findUpcomingBirthdaysWithinYear(153, 160, pageable))
+                .thenReturn(new PageImpl<>(List.of(user), pageable, 1));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        Page<UserResponseDto> response = userService.searchUpcomingBirthdays(7, pageable);
+
+        assertEquals(List.of(userResponseDto), response.getContent());
+    }
+
+    @Test
+    @DisplayName("Testing to search upcoming birthdays. Should wrap across the year end")
+    public void searchUpcomingBirthdays_WindowAcrossYearEnd_ShouldQueryBothEnds() {
+        Pageable pageable = PageRequest.of(0, 10);
+        fixClock(LocalDate.of(2023, Month.DECEMBER, 28));
+
+        when(userRepository.findUpcomingBirthdaysAcrossYearEnd(363, 7, pageable))
+                .thenReturn(new PageImpl<>(List.of(user), pageable, 1));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        Page<UserResponseDto> response = userService.searchUpcomingBirthdays(10, pageable);
+
+        assertEquals(1, response.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Testing to search upcoming birthdays from Feb 28 in a non-leap year. Should include Feb 29")
+    public void searchUpcomingBirthdays_NonLeapYearFebruary_ShouldIncludeLeapDay() {
+        Pageable pageable = PageRequest.of(0, 10);
+        fixClock(LocalDate.of(2023, Month.FEBRUARY, 28));
+
+        when(userRepository.findUpcomingBirthdaysWithinYear(59, 61, pageable))
+                .thenReturn(new PageImpl<>(List.of(user), pageable, 1));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        Page<UserResponseDto> response = userService.searchUpcomingBirthdays(1, pageable);
+
+        assertEquals(1, response.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Testing to search upcoming birthdays for a whole year. Should order from today")
+    public void searchUpcomingBirthdays_WholeYear_ShouldQueryFromToday() {
+        Pageable pageable = PageRequest.of(0, 10);
+        fixClock(LocalDate.of(2024, Month.JUNE, 1));
+
+        when(userRepository.findUpcomingBirthdaysAcrossYearEnd(153, 152, pageable))
+                .thenReturn(new PageImpl<>(List.of(user), pageable, 1));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDto);
+
+        Page<UserResponseDto> response = userService.searchUpcomingBirthdays(400, pageable);
+
+        assertEquals(1, response.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Testing to count users in age bracket with huge upper age. Should count up to the oldest possible age")
+    public void countUsersByAgeBetween_HugeMaxAge_ShouldClampAge() {
+        fixClock(LocalDate.of(2024, Month.MAY, 10));
+        LocalDate bornFrom = LocalDate.of(1873, Month.MAY, 11);
+        LocalDate bornTo = LocalDate.of(1999, Month.MAY, 10);
+        when(userRepository.countByBirthDateBetween(bornFrom, bornTo)).thenReturn(7L);
+
+        AgeBracketDto response = userService.countUsersByAgeBetween(25, 1_000_000_000);
+
+        assertEquals(new AgeBracketDto(25, 1_000_000_000, 7L), response);
+    }
+
+    @Test
+    @DisplayName("Testing to count users in age bracket")
+    public void countUsersByAgeBetween_ValidParam_ShouldCountByBirthDateRange() {
+        fixClock(LocalDate.of(2024, Month.MAY, 10));
+        LocalDate bornFrom = LocalDate.of(1989, Month.MAY, 11);
+        LocalDate bornTo = LocalDate.of(1999, Month.MAY, 10);
+        when(userRepository.countByBirthDateBetween(bornFrom, bornTo)).thenReturn(3L);
+
+        AgeBracketDto response = userService.countUsersByAgeBetween(25, 34);
+
+        assertEquals(new AgeBracketDto(25, 34, 3L), response);
+    }
+
+    @Test
+    @DisplayName("Testing to count users in age bracket. Should throw exception(EntityNotFoundException) when bracket is reversed")
+    public void countUsersByAgeBetween_InvalidParam_ShouldThrowException() {
+        assertThrows(EntityNotFoundException.class, () -> userService.countUsersByAgeBetween(34, 25));
+    }
+
+    @Test
+    @DisplayName("Testing to build age histogram")
+    public void getAgeHistogram_ValidParam_ShouldReturnBrackets() {
+        fixClock(LocalDate.of(2024, Month.MAY, 10));
+        when(userRepository.countGroupedByAgeBracket(LocalDate.of(2024, Month.MAY, 10), 10))
+                .thenReturn(List.of(ageBracketCount(20, 4L), ageBracketCount(30, 2L)));
+
+        List<AgeBracketDto> response = userService.getAgeHistogram(10);
+
+        assertEquals(List.of(new AgeBracketDto(20, 29, 4L), new AgeBracketDto(30, 39, 2L)), response);
+    }
+
+    private void fixClock(LocalDate today) {
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(today.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    private static AgeBracketCount ageBracketCount(Integer bracketStart, Long total) {
+        return new AgeBracketCount() {
+            @Override
+            public Integer getBracketStart() {
+                return bracketStart;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private void runTasksInline() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(searchExecutor).execute(any(Runnable.class));
+    }
+
+    private List<Runnable> runFirstTaskOnly() {
+        List<Runnable> deferredTasks = new ArrayList<>();
+        AtomicBoolean firstTaskRun = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            if (firstTaskRun.compareAndSet(false, true)) {
+                task.run();
+            } else {
+                deferredTasks.add(task);
+            }
+            return null;
+        }).when(searchExecutor).execute(any(Runnable.class));
+        return deferredTasks;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Measures time from JVM launch to the first successful UserController request
+# for the default and startup-optimized configurations.
+# Build first with: ./mvnw -Pstartup -DskipTests package
+# The database from application.properties must be reachable.
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8081}
+TARGET=${TARGET:-target}
+MAIN_CLASS=org.task.clearsolutions.ClearSolutionsApplication
+CLASSPATH="$TARGET/classes:$TARGET/startup/lib/*"
+ARCHIVE="$TARGET/startup/application.jsa"
+URL="http://localhost:$PORT/users?from=1990-01-01&to=2000-01-01"
+
+if [[ ! -f "$ARCHIVE" ]]; then
+    echo "$ARCHIVE not found, build with: ./mvnw -Pstartup -DskipTests package" >&2
+    exit 1
+fi
+
+measure() {
+    local started pid elapsed
+    started=$(date +%s%N)
+    java "$@" -Dserver.port="$PORT" -cp "$CLASSPATH" "$MAIN_CLASS" > /dev/null 2>&1 &
+    pid=$!
+    until [[ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" == "200" ]]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before serving a request" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( ($(date +%s%N) - started) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+benchmark() {
+    local name=$1 total=0 elapsed
+    shift
+    for ((i = 1; i <= RUNS; i++)); do
+        elapsed=$(measure "$@")
+        total=$((total + elapsed))
+    done
+    printf '%-28s %6d ms (average of %d runs)\n' "$name" $((total / RUNS)) "$RUNS"
+}
+
+benchmark "default"
+benchmark "startup profile" -Dspring.profiles.active=startup
+benchmark "startup profile + AOT" -Dspring.profiles.active=startup -Dspring.aot.enabled=true
+benchmark "startup profile + AOT + CDS" -Dspring.profiles.active=startup -Dspring.aot.enabled=true \
+    -XX:SharedArchiveFile="$ARCHIVE"